@@ -1,6 +1,7 @@
 plugins {
     id("java-library")
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 group = "net.endercube"
@@ -42,6 +43,16 @@ java {
     withJavadocJar()
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    // Reports allocation per operation alongside the timings
+    profilers.add("gc")
+    // Run the DatabaseWrapper benchmarks against a real redis-server with -PbenchRedis=host:port
+    jvmArgsAppend.add("-Dendercube.bench.redis=" + (findProperty("benchRedis") ?: ""))
+}
+
 publishing {
     publications {
         create<MavenPublication>("EndercubeCommon") {
@@ -0,0 +1,170 @@
+package net.endercube.EndercubeCommon.blocks;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.AnvilLoader;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.block.BlockManager;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.utils.NamespaceID;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loads an Anvil region full of signs and skulls, with the handlers registered the old way and through {@link BlockHandlers}.
+ * Compare {@code gc.alloc.rate.norm} between the two {@code handlers} values to see what a handler per block costs.
+ * Each value runs in its own fork, as handlers are registered globally
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockHandlerBenchmark {
+
+    // One full region, 8 x 8 chunks with 64 signs and 16 skulls each
+    private static final int CHUNKS = 8;
+    private static final int SIGNS_PER_CHUNK = 64;
+    private static final int SKULLS_PER_CHUNK = 16;
+
+    @Param({"perBlock", "shared"})
+    public String handlers;
+
+    private Path world;
+
+    @Setup
+    public void setup() throws IOException {
+        MinecraftServer.init();
+        BlockManager blockManager = MinecraftServer.getBlockManager();
+
+        if (handlers.equals("perBlock")) {
+            // How handlers were registered before BlockHandlers
+            blockManager.registerHandler(NamespaceID.from("minecraft:sign"), PerBlockSign::new);
+            blockManager.registerHandler(NamespaceID.from("minecraft:skull"), PerBlockSkull::new);
+        } else {
+            new BlockHandlers().registerTo(blockManager);
+        }
+
+        world = Files.createTempDirectory("endercube-block-handler-bench");
+        writeWorld(blockManager);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(world)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void loadMap(Blackhole blackhole) {
+        InstanceContainer instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setChunkLoader(new AnvilLoader(world));
+        for (Chunk chunk : loadChunks(instance)) {
+            blackhole.consume(chunk);
+        }
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    // Writes the region once, with block entities saved under the sign and skull block entity IDs
+    private void writeWorld(BlockManager blockManager) {
+        BlockHandler sign = blockManager.getHandlerOrDummy("minecraft:sign");
+        BlockHandler skull = blockManager.getHandlerOrDummy("minecraft:skull");
+
+        InstanceContainer instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setChunkLoader(new AnvilLoader(world));
+        loadChunks(instance);
+
+        for (int chunkX = 0; chunkX < CHUNKS; chunkX++) {
+            for (int chunkZ = 0; chunkZ < CHUNKS; chunkZ++) {
+                for (int i = 0; i < SIGNS_PER_CHUNK; i++) {
+                    instance.setBlock(chunkX * 16 + i % 16, 64, chunkZ * 16 + i / 16, Block.OAK_SIGN
+                            .withHandler(sign)
+                            .withTag(Tag.String("Text1"), "{\"text\":\"Checkpoint " + i + "\"}"));
+                }
+                for (int i = 0; i < SKULLS_PER_CHUNK; i++) {
+                    instance.setBlock(chunkX * 16 + i, 66, chunkZ * 16, Block.PLAYER_HEAD
+                            .withHandler(skull)
+                            .withTag(Tag.String("ExtraType"), "Notch"));
+                }
+            }
+        }
+
+        instance.saveChunksToStorage().join();
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    private static List<Chunk> loadChunks(InstanceContainer instance) {
+        CompletableFuture<?>[] futures = new CompletableFuture[CHUNKS * CHUNKS];
+        for (int x = 0; x < CHUNKS; x++) {
+            for (int z = 0; z < CHUNKS; z++) {
+                futures[x * CHUNKS + z] = instance.loadChunk(x, z);
+            }
+        }
+        CompletableFuture.allOf(futures).join();
+        return Stream.of(futures).map(future -> (Chunk) future.join()).toList();
+    }
+
+    // The old Sign handler, a new instance per block and a new tag list per call
+    private static final class PerBlockSign implements BlockHandler {
+        @Override
+        public @NotNull NamespaceID getNamespaceId() {
+            return NamespaceID.from("minecraft", "sign");
+        }
+
+        @Override
+        public @NotNull Collection<Tag<?>> getBlockEntityTags() {
+            return List.of(
+                    Tag.Byte("GlowingText"),
+                    Tag.String("Color"),
+                    Tag.String("Text1"),
+                    Tag.String("Text2"),
+                    Tag.String("Text3"),
+                    Tag.String("Text4")
+            );
+        }
+    }
+
+    // The old Skull handler
+    private static final class PerBlockSkull implements BlockHandler {
+        @Override
+        public @NotNull NamespaceID getNamespaceId() {
+            return NamespaceID.from("minecraft", "skull");
+        }
+
+        @Override
+        public @NotNull Collection<Tag<?>> getBlockEntityTags() {
+            return List.of(
+                    Tag.String("ExtraType"),
+                    Tag.NBT("SkullOwner")
+            );
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package net.endercube.EndercubeCommon.replay;
+
+import net.minestom.server.coordinate.Pos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplayBenchmark {
+
+    // A minute long run at 20 ticks per second
+    private static final int FRAMES = 20 * 60;
+
+    private Pos[] positions;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        positions = new Pos[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            // Standing still every tenth tick, like a player waiting on a jump
+            double t = i % 10 == 0 && i > 0 ? i - 1 : i;
+            positions[i] = new Pos(t * 0.28, 64 + Math.sin(t / 10d), t * 0.05, (float) ((t * 3) % 360 - 180), 10);
+        }
+
+        ReplayRecorder recorder = new ReplayRecorder(FRAMES);
+        for (Pos position : positions) {
+            recorder.record(position);
+        }
+        encoded = recorder.finish().toBytes();
+    }
+
+    @Benchmark
+    public Replay record() {
+        ReplayRecorder recorder = new ReplayRecorder(FRAMES);
+        for (Pos position : positions) {
+            recorder.record(position);
+        }
+        return recorder.finish();
+    }
+
+    @Benchmark
+    public void playback(Blackhole blackhole) {
+        for (Pos position : Replay.fromBytes(encoded)) {
+            blackhole.consume(position);
+        }
+    }
+
+    // What starting a ghost costs, as frames are only decoded when they are played
+    @Benchmark
+    public Pos firstFrame() {
+        Iterator<Pos> frames = Replay.fromBytes(encoded).iterator();
+        return frames.next();
+    }
+}
@@ -0,0 +1,65 @@
+package net.endercube.EndercubeCommon.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComponentUtilsBenchmark {
+
+    private Component component;
+    private String legacyText;
+    private char[] characters;
+    private long milliseconds;
+
+    @Setup
+    public void setup() {
+        component = Component.text("Parkour ", NamedTextColor.GOLD)
+                .append(Component.text("Course Complete!", NamedTextColor.GREEN, TextDecoration.BOLD));
+        legacyText = LegacyComponentSerializer.legacySection().serialize(component);
+        // Mix of early, late and unknown entries in DefaultFontInfo
+        characters = "Aaz90~. é".toCharArray();
+        milliseconds = 3_723_456L;
+    }
+
+    @Benchmark
+    public Component centerComponent() {
+        return ComponentUtils.centerComponent(component);
+    }
+
+    @Benchmark
+    public int measureLegacyText() {
+        return ComponentUtils.measureLegacyText(legacyText);
+    }
+
+    @Benchmark
+    public void forCharacter(Blackhole blackhole) {
+        for (char c : characters) {
+            blackhole.consume(ComponentUtils.DefaultFontInfo.forCharacter(c));
+        }
+    }
+
+    @Benchmark
+    public String toHumanReadableTime() {
+        return ComponentUtils.toHumanReadableTime(milliseconds);
+    }
+}
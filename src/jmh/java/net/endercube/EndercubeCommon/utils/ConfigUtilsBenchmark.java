@@ -0,0 +1,64 @@
+package net.endercube.EndercubeCommon.utils;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigUtilsBenchmark {
+
+    private static final int POINTS = 64;
+
+    private ConfigUtils configUtils;
+    private CommentedConfigurationNode config;
+
+    @Setup
+    public void setup() throws ConfigurateException {
+        StringBuilder hocon = new StringBuilder("checkpoints = [\n");
+        for (int i = 0; i < POINTS; i++) {
+            hocon.append("  [").append(i).append(".5, 64, ").append(-i).append(".5, 90, 0]\n");
+        }
+        hocon.append("]\nvectors = [\n");
+        for (int i = 0; i < POINTS; i++) {
+            hocon.append("  [").append(i).append(", 0.5, ").append(-i).append("]\n");
+        }
+        hocon.append("]\n");
+
+        HoconConfigurationLoader loader = HoconConfigurationLoader.builder()
+                .source(() -> new BufferedReader(new StringReader(hocon.toString())))
+                .build();
+        config = loader.load();
+        configUtils = new ConfigUtils(loader, config);
+    }
+
+    @Benchmark
+    public Pos[] getPosListFromConfig() {
+        return configUtils.getPosListFromConfig(config.node("checkpoints"));
+    }
+
+    @Benchmark
+    public Vec[] getVecListFromConfig() {
+        return configUtils.getVecListFromConfig(config.node("vectors"));
+    }
+}
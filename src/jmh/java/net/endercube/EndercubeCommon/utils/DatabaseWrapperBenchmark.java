@@ -0,0 +1,149 @@
+package net.endercube.EndercubeCommon.utils;
+
+import net.endercube.EndercubeCommon.replay.Replay;
+import net.endercube.EndercubeCommon.replay.ReplayRecorder;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.player.PlayerConnection;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.resps.Tuple;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs against an in-process fake by default.
+ * Set {@code -Dendercube.bench.redis=host:port} (or {@code -PbenchRedis=host:port} through Gradle) to use a real redis-server
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatabaseWrapperBenchmark {
+
+    private static final String COURSE = "benchmark";
+    private static final int PLAYERS = 1000;
+    // A minute long run at 20 ticks per second
+    private static final int REPLAY_FRAMES = 20 * 60;
+
+    private JedisPooled jedis;
+    private String nameSpace;
+    private DatabaseWrapper database;
+    private Player[] players;
+    private Replay replay;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MinecraftServer.init();
+
+        String redis = System.getProperty("endercube.bench.redis", "");
+        if (redis.isBlank()) {
+            jedis = new FakeJedisPooled();
+        } else {
+            String[] hostAndPort = redis.split(":");
+            jedis = new JedisPooled(hostAndPort[0], hostAndPort.length > 1 ? Integer.parseInt(hostAndPort[1]) : 6379);
+        }
+        nameSpace = "endercube-bench-" + UUID.randomUUID();
+        database = new DatabaseWrapper(jedis, nameSpace);
+
+        players = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new Player(UUID.randomUUID(), "Player" + i, new BenchmarkPlayerConnection());
+            database.addTime(players[i], COURSE, 60_000L + i);
+        }
+
+        ReplayRecorder recorder = new ReplayRecorder(REPLAY_FRAMES);
+        for (int i = 0; i < REPLAY_FRAMES; i++) {
+            recorder.record(new Pos(i * 0.28, 64 + Math.sin(i / 10d), i * 0.05, (i * 3) % 360 - 180, 10));
+        }
+        replay = recorder.finish();
+
+        // Give the top ten personal best replays
+        for (int i = 0; i < 10; i++) {
+            database.addTime(players[i], COURSE, 50_000L + i, replay);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // Don't leave benchmark data behind in a real redis-server
+        jedis.del(nameSpace + ":" + COURSE + ":times", nameSpace + ":" + COURSE + ":replays");
+        jedis.close();
+    }
+
+    @Benchmark
+    public Player addTime() {
+        Player player = players[ThreadLocalRandom.current().nextInt(PLAYERS)];
+        database.addTime(player, COURSE, ThreadLocalRandom.current().nextLong(30_000L, 120_000L));
+        return player;
+    }
+
+    @Benchmark
+    public Player removeAndReAddTime() {
+        Player player = players[ThreadLocalRandom.current().nextInt(PLAYERS)];
+        database.removeTime(player, COURSE);
+        database.addTime(player, COURSE, 90_000L);
+        return player;
+    }
+
+    @Benchmark
+    public boolean addTimeWithReplay() {
+        Player player = players[ThreadLocalRandom.current().nextInt(PLAYERS)];
+        return database.addTime(player, COURSE, ThreadLocalRandom.current().nextLong(30_000L, 120_000L), replay);
+    }
+
+    @Benchmark
+    public Replay getReplay() {
+        return database.getReplay(COURSE, players[0].getUuid());
+    }
+
+    @Benchmark
+    public Map<String, Replay> getTopTenReplays() {
+        return database.getLeaderboardReplays(COURSE, 9);
+    }
+
+    @Benchmark
+    public List<Tuple> getTopTen() {
+        return database.getLeaderboard(COURSE, 9);
+    }
+
+    @Benchmark
+    public List<Tuple> getLeaderboardPage() {
+        return database.getLeaderboard(COURSE, 500, 549);
+    }
+
+    private static final class BenchmarkPlayerConnection extends PlayerConnection {
+        private static final SocketAddress ADDRESS = new InetSocketAddress("127.0.0.1", 0);
+
+        @Override
+        public void sendPacket(@NotNull SendablePacket packet) {
+        }
+
+        @Override
+        public @NotNull SocketAddress getRemoteAddress() {
+            return ADDRESS;
+        }
+    }
+}
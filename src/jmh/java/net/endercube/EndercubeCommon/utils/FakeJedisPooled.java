@@ -0,0 +1,197 @@
+package net.endercube.EndercubeCommon.utils;
+
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.resps.Tuple;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An in-process stand-in for the commands and scripts {@link DatabaseWrapper} uses.
+ * The pool points at an unresolvable host, so any command not faked here fails instead of reaching a real redis-server
+ */
+class FakeJedisPooled extends JedisPooled {
+
+    private final Map<String, SortedSet> sets = new HashMap<>();
+    private final Map<String, Map<String, byte[]>> hashes = new HashMap<>();
+
+    FakeJedisPooled() {
+        super("fake-redis.invalid", 6379);
+    }
+
+    @Override
+    public Object eval(String script, List<String> keys, List<String> args) {
+        if (script.equals(DatabaseWrapper.ADD_TIME_SCRIPT)) {
+            zadd(keys.get(0), Double.parseDouble(args.get(1)), args.get(0));
+            hdel(keys.get(1), args.get(0));
+            return 1L;
+        }
+        if (script.equals(DatabaseWrapper.REMOVE_TIME_SCRIPT)) {
+            zrem(keys.get(0), args.get(0));
+            hdel(keys.get(1), args.get(0));
+            return 1L;
+        }
+        throw new UnsupportedOperationException("FakeJedisPooled doesn't know this script");
+    }
+
+    @Override
+    public Object eval(byte[] script, List<byte[]> keys, List<byte[]> args) {
+        if (string(script).equals(DatabaseWrapper.ADD_TIME_WITH_REPLAY_SCRIPT)) {
+            String times = string(keys.get(0));
+            String member = string(args.get(0));
+            double time = Double.parseDouble(string(args.get(1)));
+
+            Double current = zscore(times, member);
+            if (current != null && current <= time) {
+                return 0L;
+            }
+            zadd(times, time, member);
+            hset(keys.get(1), args.get(0), args.get(2));
+            return 1L;
+        }
+        throw new UnsupportedOperationException("FakeJedisPooled doesn't know this script");
+    }
+
+    @Override
+    public long zadd(String key, double score, String member) {
+        return sets.computeIfAbsent(key, k -> new SortedSet()).add(member, score) ? 1 : 0;
+    }
+
+    @Override
+    public Double zscore(String key, String member) {
+        SortedSet set = sets.get(key);
+        return set == null ? null : set.scores.get(member);
+    }
+
+    @Override
+    public long zrem(String key, String... members) {
+        SortedSet set = sets.get(key);
+        if (set == null) {
+            return 0;
+        }
+        long removed = 0;
+        for (String member : members) {
+            if (set.remove(member)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public List<Tuple> zrangeWithScores(String key, long start, long stop) {
+        SortedSet set = sets.get(key);
+        if (set == null) {
+            return List.of();
+        }
+        return set.range(start, stop);
+    }
+
+    @Override
+    public List<String> zrange(String key, long start, long stop) {
+        List<String> members = new ArrayList<>();
+        for (Tuple tuple : zrangeWithScores(key, start, stop)) {
+            members.add(tuple.getElement());
+        }
+        return members;
+    }
+
+    @Override
+    public long hset(byte[] key, byte[] field, byte[] value) {
+        return hashes.computeIfAbsent(string(key), k -> new HashMap<>()).put(string(field), value) == null ? 1 : 0;
+    }
+
+    @Override
+    public byte[] hget(byte[] key, byte[] field) {
+        Map<String, byte[]> hash = hashes.get(string(key));
+        return hash == null ? null : hash.get(string(field));
+    }
+
+    @Override
+    public List<byte[]> hmget(byte[] key, byte[]... fields) {
+        List<byte[]> values = new ArrayList<>(fields.length);
+        for (byte[] field : fields) {
+            values.add(hget(key, field));
+        }
+        return values;
+    }
+
+    @Override
+    public long hdel(String key, String... fields) {
+        Map<String, byte[]> hash = hashes.get(key);
+        if (hash == null) {
+            return 0;
+        }
+        long removed = 0;
+        for (String field : fields) {
+            if (hash.remove(field) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public long del(String... keys) {
+        long removed = 0;
+        for (String key : keys) {
+            if (sets.remove(key) != null | hashes.remove(key) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static final class SortedSet {
+        private final Map<String, Double> scores = new HashMap<>();
+        private final TreeSet<Tuple> ordered = new TreeSet<>();
+
+        boolean add(String member, double score) {
+            Double previous = scores.put(member, score);
+            if (previous != null) {
+                ordered.remove(new Tuple(member, previous));
+            }
+            ordered.add(new Tuple(member, score));
+            return previous == null;
+        }
+
+        boolean remove(String member) {
+            Double previous = scores.remove(member);
+            if (previous == null) {
+                return false;
+            }
+            ordered.remove(new Tuple(member, previous));
+            return true;
+        }
+
+        List<Tuple> range(long start, long stop) {
+            int size = ordered.size();
+            if (start < 0) {
+                start += size;
+            }
+            if (stop < 0) {
+                stop += size;
+            }
+            List<Tuple> out = new ArrayList<>();
+            long index = 0;
+            for (Tuple tuple : ordered) {
+                if (index > stop) {
+                    break;
+                }
+                if (index >= start) {
+                    out.add(tuple);
+                }
+                index++;
+            }
+            return out;
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package net.endercube.EndercubeCommon;
 
-import net.endercube.EndercubeCommon.blocks.Sign;
-import net.endercube.EndercubeCommon.blocks.Skull;
+import net.endercube.EndercubeCommon.blocks.BlockHandlers;
+import net.endercube.EndercubeCommon.metrics.MetricsRegistry;
+import net.endercube.EndercubeCommon.metrics.MetricsServer;
+import net.endercube.EndercubeCommon.metrics.ServerMetrics;
+import net.endercube.EndercubeCommon.startup.StartupPipeline;
 import net.endercube.EndercubeCommon.utils.ConfigUtils;
 import net.endercube.EndercubeCommon.utils.DatabaseWrapper;
+import net.endercube.EndercubeCommon.view.ViewDistanceController;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventFilter;
 import net.minestom.server.event.EventListener;
 import net.minestom.server.event.EventNode;
-import net.minestom.server.event.GlobalEventHandler;
 import net.minestom.server.extras.MojangAuth;
 import net.minestom.server.extras.velocity.VelocityProxy;
+import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.PlayerProvider;
-import net.minestom.server.utils.NamespaceID;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -22,17 +25,31 @@ import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Protocol;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 
 public class EndercubeGame {
+    // Names of the built-in startup phases, for use as dependencies in addStartupPhase
+    public static final String PHASE_CONFIG = "config";
+    public static final String PHASE_MINESTOM = "minestom";
+    public static final String PHASE_HANDLERS = "handlers";
+    public static final String PHASE_METRICS = "metrics";
+    public static final String PHASE_ENCRYPTION = "encryption";
+    public static final String PHASE_STORAGE = "storage";
+    public static final String PHASE_VIEW_DISTANCE = "view-distance";
+    public static final String PHASE_START = "start";
+    private static final Set<String> BUILT_IN_PHASES = Set.of(PHASE_CONFIG, PHASE_MINESTOM, PHASE_HANDLERS,
+            PHASE_METRICS, PHASE_ENCRYPTION, PHASE_STORAGE, PHASE_VIEW_DISTANCE, PHASE_START);
+
     private final EventNode<Event> EVENTNODE;
     private static final Logger LOGGER;
     private CommentedConfigurationNode config;
@@ -42,6 +59,29 @@ public class EndercubeGame {
     private ConfigUtils configUtils;
     private DatabaseWrapper redisDatabaseWrapper;
     private JedisPooled databaseJedisPool;
+    private final ServerMetrics metrics;
+    private MetricsServer metricsServer;
+    private final StartupPipeline startupPipeline;
+    private final BlockHandlers blockHandlers;
+    private MinecraftServer minecraftServer;
+    private ViewDistanceController viewDistanceController;
+
+    // Settings read from config.conf during the config phase
+    private EncryptionMode encryptionMode;
+    private String velocitySecret;
+    private int port;
+    private int compressionThreshold;
+    private int viewDistance;
+    private int minEntityViewDistance;
+    private int maxEntityViewDistance;
+    private boolean adaptiveViewDistance;
+    private double targetTickTime;
+    private long maxEntityViewers;
+    private boolean metricsEnabled;
+    private String metricsHostname;
+    private int metricsPort;
+    private String databaseHostname;
+    private int databasePort;
 
     // Initializes the logger, only on the first initialization of this class
     static {
@@ -51,6 +91,9 @@ public class EndercubeGame {
     public EndercubeGame() {
         // Create out event node to add to later
         EVENTNODE = EventNode.type("listeners", EventFilter.ALL);
+        metrics = new ServerMetrics(new MetricsRegistry());
+        startupPipeline = new StartupPipeline();
+        blockHandlers = new BlockHandlers();
     }
 
     /**
@@ -111,55 +154,102 @@ public class EndercubeGame {
         return this;
     }
 
+    /**
+     * Add a block handler, replacing any default handler with the same namespace ID.
+     * One instance is shared by every block, so it must not hold per-block state
+     *
+     * @param handler The handler
+     * @return The builder
+     */
+    public EndercubeGame addBlockHandler(@NotNull BlockHandler handler) {
+        blockHandlers.register(handler);
+        return this;
+    }
+
+    /**
+     * Add a phase to run during startup, e.g. preloading worlds.
+     * Every added phase finishes before the server starts accepting players
+     *
+     * @param name      A unique name for the phase, which can't be one of the built-in {@code PHASE_} names
+     * @param action    The work to do
+     * @param dependsOn The phases that must finish first, such as {@link #PHASE_CONFIG} or {@link #PHASE_MINESTOM}
+     * @return The builder
+     */
+    public EndercubeGame addStartupPhase(@NotNull String name, @NotNull Runnable action, @NotNull String... dependsOn) {
+        if (BUILT_IN_PHASES.contains(name)) {
+            throw new IllegalArgumentException("Startup phase name " + name + " is reserved, the built-in phases are "
+                    + String.join(", ", new TreeSet<>(BUILT_IN_PHASES)));
+        }
+        startupPipeline.addPhase(name, action, dependsOn);
+        return this;
+    }
+
     /**
      * The main class that starts the server
      */
     public void build() {
-        this.initConfig();
+        startupPipeline
+                .addPhase(PHASE_CONFIG, this::initConfig)
+                // Minestom's threads must not be daemons, or the JVM exits once main returns
+                .addInlinePhase(PHASE_MINESTOM, this::initMinestom, PHASE_CONFIG)
+                .addPhase(PHASE_HANDLERS, this::initHandlers, PHASE_MINESTOM)
+                .addPhase(PHASE_METRICS, this::initMetrics, PHASE_CONFIG, PHASE_MINESTOM)
+                .addPhase(PHASE_ENCRYPTION, () -> initEncryption(encryptionMode, velocitySecret), PHASE_CONFIG, PHASE_MINESTOM)
+                .addPhase(PHASE_VIEW_DISTANCE, this::initViewDistance, PHASE_CONFIG, PHASE_MINESTOM);
 
-        // Server Initialization
-        MinecraftServer minecraftServer = MinecraftServer.init();
+        if (databaseEnabled) {
+            startupPipeline.addPhase(PHASE_STORAGE, this::initDatabase, PHASE_CONFIG);
+        }
 
-        // Add our event node
-        GlobalEventHandler globalEventHandler = MinecraftServer.getGlobalEventHandler();
-        globalEventHandler.addChild(EVENTNODE);
+        // Only accept players once everything else, including storage and any game phases, is ready
+        String[] everything = startupPipeline.phaseNames().toArray(new String[0]);
+        startupPipeline.addInlinePhase(PHASE_START, this::startServer, everything);
 
-        // Register block handlers
-        MinecraftServer.getBlockManager().registerHandler(NamespaceID.from("minecraft:sign"), Sign::new);
-        MinecraftServer.getBlockManager().registerHandler(NamespaceID.from("minecraft:skull"), Skull::new);
-        LOGGER.debug("Set block handlers");
+        startupPipeline.run();
+    }
 
-        // Set encryption
-        EncryptionMode encryptionMode;
-        try {
-            encryptionMode = EncryptionMode.valueOf(configUtils.getOrSetDefault(config.node("connection", "mode"), "online").toUpperCase());
-        } catch (IllegalArgumentException e) {
-            LOGGER.warn("Cannot read encryption mode from config, falling back to ONLINE");
-            encryptionMode = EncryptionMode.ONLINE;
-        }
-        initEncryption(encryptionMode, configUtils.getOrSetDefault(config.node("connection", "velocitySecret"), ""));
+    enum EncryptionMode {
+        ONLINE,
+        VELOCITY
+    }
 
+    private void initMinestom() {
+        // Minestom reads these once, when MinecraftServer is first loaded
+        System.setProperty("minestom.chunk-view-distance", String.valueOf(viewDistance));
+        System.setProperty("minestom.entity-view-distance", String.valueOf(maxEntityViewDistance));
 
-        // Start the server
-        int port = Integer.parseInt(configUtils.getOrSetDefault(config.node("connection", "port"), "25565"));
-        minecraftServer.start("0.0.0.0", port);
-        LOGGER.info("Starting server on port " + port + " with " + encryptionMode + " encryption");
+        minecraftServer = MinecraftServer.init();
+        MinecraftServer.setCompressionThreshold(compressionThreshold);
 
-        MinecraftServer.getConnectionManager().setPlayerProvider(PLAYER_PROVIDER);
-        LOGGER.debug("Set player provider");
+        if (MinecraftServer.CHUNK_VIEW_DISTANCE != viewDistance || MinecraftServer.ENTITY_VIEW_DISTANCE != maxEntityViewDistance) {
+            LOGGER.warn("MinecraftServer was loaded before build(), so the view distances in config are capped at "
+                    + MinecraftServer.CHUNK_VIEW_DISTANCE + " chunks and " + MinecraftServer.ENTITY_VIEW_DISTANCE + " entity chunks");
+            maxEntityViewDistance = Math.min(maxEntityViewDistance, MinecraftServer.ENTITY_VIEW_DISTANCE);
+            minEntityViewDistance = Math.min(minEntityViewDistance, maxEntityViewDistance);
+        }
+    }
 
-        if (databaseEnabled) {
-            String DBHostname = configUtils.getOrSetDefault(config.node("database", "redis", "hostname"), "localhost");
-            int DBPort = Integer.parseInt(configUtils.getOrSetDefault(config.node("database", "redis", "port"), "6379"));
-            databaseJedisPool = new JedisPooled(DBHostname, DBPort);
-            redisDatabaseWrapper = new DatabaseWrapper(databaseJedisPool, databaseNamespace);
+    private void initViewDistance() {
+        if (!adaptiveViewDistance) {
+            LOGGER.debug("Adaptive view distance disabled");
+            return;
         }
 
+        viewDistanceController = new ViewDistanceController(minEntityViewDistance, maxEntityViewDistance,
+                targetTickTime, maxEntityViewers, metrics);
+        viewDistanceController.start(MinecraftServer.getGlobalEventHandler());
     }
 
-    enum EncryptionMode {
-        ONLINE,
-        VELOCITY
+    private void initHandlers() {
+        // Add our event node
+        MinecraftServer.getGlobalEventHandler().addChild(EVENTNODE);
+
+        // Register block handlers
+        blockHandlers.registerTo(MinecraftServer.getBlockManager());
+        LOGGER.debug("Set block handlers");
+
+        MinecraftServer.getConnectionManager().setPlayerProvider(PLAYER_PROVIDER);
+        LOGGER.debug("Set player provider");
     }
 
     private void initEncryption(EncryptionMode mode, String velocitySecret) {
@@ -173,6 +263,39 @@ public class EndercubeGame {
         }
     }
 
+    private void initMetrics() {
+        metrics.listen(MinecraftServer.getGlobalEventHandler());
+
+        if (!metricsEnabled) {
+            LOGGER.debug("Metrics endpoint disabled");
+            return;
+        }
+
+        try {
+            metricsServer = new MetricsServer(metrics.getRegistry(), metricsHostname, metricsPort);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot start the metrics endpoint on " + metricsHostname + ":" + metricsPort + ": " + e.getMessage());
+            return;
+        }
+        metricsServer.start();
+        MinecraftServer.getSchedulerManager().buildShutdownTask(metricsServer::stop);
+    }
+
+    private void initDatabase() {
+        databaseJedisPool = new JedisPooled(databaseHostname, databasePort);
+
+        // Open a connection now, so the first player doesn't pay for it
+        databaseJedisPool.sendCommand(Protocol.Command.PING);
+        LOGGER.info("Connected to redis at " + databaseHostname + ":" + databasePort);
+
+        redisDatabaseWrapper = new DatabaseWrapper(databaseJedisPool, databaseNamespace, metrics);
+    }
+
+    private void startServer() {
+        minecraftServer.start("0.0.0.0", port);
+        LOGGER.info("Starting server on port " + port + " with " + encryptionMode + " encryption");
+    }
+
     private void initConfig() {
         // Create config directories
         if (!Files.exists(getPath("config/worlds/"))) {
@@ -193,20 +316,56 @@ public class EndercubeGame {
             config = loader.load();
         } catch (ConfigurateException e) {
             LOGGER.error("An error occurred while loading config.conf: " + e.getMessage());
-            LOGGER.error(Arrays.toString(e.getStackTrace()));
-            MinecraftServer.stopCleanly();
+            throw new RuntimeException(e);
         }
 
         // Init a ConfigUtils class
         configUtils = new ConfigUtils(loader, config);
+
+        // Read everything the other phases need here, as config nodes aren't safe to use from several threads
+        try {
+            encryptionMode = EncryptionMode.valueOf(configUtils.getOrSetDefault(config.node("connection", "mode"), "online").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Cannot read encryption mode from config, falling back to ONLINE");
+            encryptionMode = EncryptionMode.ONLINE;
+        }
+        velocitySecret = configUtils.getOrSetDefault(config.node("connection", "velocitySecret"), "");
+        port = Integer.parseInt(configUtils.getOrSetDefault(config.node("connection", "port"), "25565"));
+        compressionThreshold = Integer.parseInt(configUtils.getOrSetDefault(config.node("connection", "compressionThreshold"), "256"));
+
+        // View distances are in chunks, the entity minimum is only used by the adaptive controller
+        viewDistance = Integer.parseInt(configUtils.getOrSetDefault(config.node("connection", "viewDistance"), "8"));
+        minEntityViewDistance = Integer.parseInt(configUtils.getOrSetDefault(config.node("connection", "entityViewDistance", "min"), "2"));
+        maxEntityViewDistance = Integer.parseInt(configUtils.getOrSetDefault(config.node("connection", "entityViewDistance", "max"), "5"));
+        adaptiveViewDistance = Boolean.parseBoolean(configUtils.getOrSetDefault(config.node("connection", "adaptiveViewDistance", "enabled"), "true"));
+        targetTickTime = Double.parseDouble(configUtils.getOrSetDefault(config.node("connection", "adaptiveViewDistance", "targetTickTime"), "40"));
+        maxEntityViewers = Long.parseLong(configUtils.getOrSetDefault(config.node("connection", "adaptiveViewDistance", "maxEntityViewers"), "50000"));
+
+        metricsEnabled = Boolean.parseBoolean(configUtils.getOrSetDefault(config.node("metrics", "enabled"), "true"));
+        metricsHostname = configUtils.getOrSetDefault(config.node("metrics", "hostname"), "127.0.0.1");
+        metricsPort = Integer.parseInt(configUtils.getOrSetDefault(config.node("metrics", "port"), "9225"));
+
+        if (databaseEnabled) {
+            databaseHostname = configUtils.getOrSetDefault(config.node("database", "redis", "hostname"), "localhost");
+            databasePort = Integer.parseInt(configUtils.getOrSetDefault(config.node("database", "redis", "port"), "6379"));
+        }
     }
 
     public static Path getPath(String path) {
-        try {
-            return Path.of(new File(EndercubeGame.class.getProtectionDomain().getCodeSource().getLocation()
-                    .toURI()).getPath()).getParent().resolve(path);
-        } catch (URISyntaxException e) {
-            throw new RuntimeException(e);
+        return BasePath.PATH.resolve(path);
+    }
+
+    // Resolved once, the first time getPath is called
+    private static final class BasePath {
+        private static final Path PATH;
+
+        static {
+            try {
+                PATH = Path.of(new File(EndercubeGame.class.getProtectionDomain().getCodeSource().getLocation()
+                        .toURI()).getPath()).getParent();
+            } catch (URISyntaxException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
@@ -218,6 +377,20 @@ public class EndercubeGame {
         return configUtils;
     }
 
+    /**
+     * @return The standard metrics, use {@code getMetrics().getRegistry()} to register your own
+     */
+    public @NotNull ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The adaptive view distance controller, or null if it is disabled in config
+     */
+    public @Nullable ViewDistanceController getViewDistanceController() {
+        return viewDistanceController;
+    }
+
     public @Nullable DatabaseWrapper getRedisDatabaseWrapper() {
         if (!databaseEnabled) {
             return null;
@@ -0,0 +1,109 @@
+package net.endercube.EndercubeCommon.blocks;
+
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.block.BlockManager;
+import net.minestom.server.utils.NamespaceID;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A registry of shared block handlers.
+ * Each handler is created once and the same instance is handed to every block that uses it,
+ * so loading a map full of signs doesn't create a handler per block
+ */
+public final class BlockHandlers {
+
+    private static final List<String> WOOD_TYPES = List.of(
+            "oak", "spruce", "birch", "jungle", "acacia", "dark_oak",
+            "mangrove", "cherry", "bamboo", "crimson", "warped"
+    );
+
+    private static final List<String> SKULL_BLOCKS = List.of(
+            "skeleton_skull", "skeleton_wall_skull",
+            "wither_skeleton_skull", "wither_skeleton_wall_skull",
+            "zombie_head", "zombie_wall_head",
+            "player_head", "player_wall_head",
+            "creeper_head", "creeper_wall_head",
+            "dragon_head", "dragon_wall_head",
+            "piglin_head", "piglin_wall_head"
+    );
+
+    /**
+     * Every sign and hanging sign ID, including the {@code minecraft:sign} and {@code minecraft:hanging_sign} block entities
+     */
+    public static final List<NamespaceID> SIGN_IDS;
+
+    /**
+     * Every skull and head ID, including the {@code minecraft:skull} block entity
+     */
+    public static final List<NamespaceID> SKULL_IDS;
+
+    static {
+        List<NamespaceID> signs = new ArrayList<>();
+        signs.add(NamespaceID.from("minecraft", "sign"));
+        signs.add(NamespaceID.from("minecraft", "hanging_sign"));
+        for (String wood : WOOD_TYPES) {
+            signs.add(NamespaceID.from("minecraft", wood + "_sign"));
+            signs.add(NamespaceID.from("minecraft", wood + "_wall_sign"));
+            signs.add(NamespaceID.from("minecraft", wood + "_hanging_sign"));
+            signs.add(NamespaceID.from("minecraft", wood + "_wall_hanging_sign"));
+        }
+        SIGN_IDS = List.copyOf(signs);
+
+        List<NamespaceID> skulls = new ArrayList<>();
+        skulls.add(NamespaceID.from("minecraft", "skull"));
+        for (String skull : SKULL_BLOCKS) {
+            skulls.add(NamespaceID.from("minecraft", skull));
+        }
+        SKULL_IDS = List.copyOf(skulls);
+    }
+
+    private final Map<NamespaceID, BlockHandler> handlers = new LinkedHashMap<>();
+
+    /**
+     * Creates a registry containing handlers for every sign and skull
+     */
+    public BlockHandlers() {
+        for (NamespaceID id : SIGN_IDS) {
+            register(new Sign(id));
+        }
+        for (NamespaceID id : SKULL_IDS) {
+            register(new Skull(id));
+        }
+    }
+
+    /**
+     * Adds a handler, replacing any handler already registered with the same namespace ID.
+     * The handler is shared between blocks, so it must not hold per-block state
+     *
+     * @param handler The handler to add
+     * @return The registry
+     */
+    public BlockHandlers register(@NotNull BlockHandler handler) {
+        handlers.put(handler.getNamespaceId(), handler);
+        return this;
+    }
+
+    /**
+     * @return Every registered handler, keyed by namespace ID
+     */
+    public @NotNull Map<NamespaceID, BlockHandler> getHandlers() {
+        return Collections.unmodifiableMap(handlers);
+    }
+
+    /**
+     * Registers every handler to Minestom's {@link BlockManager}
+     *
+     * @param blockManager The block manager to register to
+     */
+    public void registerTo(@NotNull BlockManager blockManager) {
+        for (BlockHandler handler : handlers.values()) {
+            blockManager.registerHandler(handler.getNamespaceId(), () -> handler);
+        }
+    }
+}
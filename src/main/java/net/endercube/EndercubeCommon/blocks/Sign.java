@@ -8,22 +8,45 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * A stateless handler for signs and hanging signs, one instance can be shared by every sign block
+ */
 public class Sign implements BlockHandler {
+
+    // Covers both the pre-1.20 and the front/back text formats
+    private static final List<Tag<?>> TAGS = List.of(
+            Tag.Byte("GlowingText"),
+            Tag.String("Color"),
+            Tag.String("Text1"),
+            Tag.String("Text2"),
+            Tag.String("Text3"),
+            Tag.String("Text4"),
+            Tag.NBT("front_text"),
+            Tag.NBT("back_text"),
+            Tag.Byte("is_waxed")
+    );
+
+    private final NamespaceID namespaceId;
+
+    public Sign() {
+        this(NamespaceID.from("minecraft", "sign"));
+    }
+
+    /**
+     * @param namespaceId The ID of the sign block or block entity this handles
+     */
+    public Sign(@NotNull NamespaceID namespaceId) {
+        this.namespaceId = namespaceId;
+    }
+
     @Override
     public @NotNull NamespaceID getNamespaceId() {
-        return NamespaceID.from("minecraft", "sign");
+        return namespaceId;
     }
 
     @Override
     public @NotNull Collection<Tag<?>> getBlockEntityTags() {
-        return List.of(
-                Tag.Byte("GlowingText"),
-                Tag.String("Color"),
-                Tag.String("Text1"),
-                Tag.String("Text2"),
-                Tag.String("Text3"),
-                Tag.String("Text4")
-        );
+        return TAGS;
     }
 
 
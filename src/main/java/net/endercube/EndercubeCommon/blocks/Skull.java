@@ -1,6 +1,5 @@
 package net.endercube.EndercubeCommon.blocks;
 
-import net.kyori.adventure.key.Key;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
@@ -9,19 +8,38 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * A stateless handler for skulls and heads, one instance can be shared by every skull block
+ */
 public class Skull implements BlockHandler {
 
+    private static final List<Tag<?>> TAGS = List.of(
+            Tag.String("ExtraType"),
+            Tag.NBT("SkullOwner"),
+            Tag.String("note_block_sound")
+    );
+
+    private final NamespaceID namespaceId;
+
+    public Skull() {
+        this(NamespaceID.from("minecraft", "skull"));
+    }
+
+    /**
+     * @param namespaceId The ID of the skull block or block entity this handles
+     */
+    public Skull(@NotNull NamespaceID namespaceId) {
+        this.namespaceId = namespaceId;
+    }
+
     @Override
     public @NotNull NamespaceID getNamespaceId() {
-        return NamespaceID.from(Key.key("minecraft:skull"));
+        return namespaceId;
     }
 
     @Override
     public @NotNull Collection<Tag<?>> getBlockEntityTags() {
-        return List.of(
-                Tag.String("ExtraType"),
-                Tag.NBT("SkullOwner")
-        );
+        return TAGS;
     }
 
 }
@@ -0,0 +1,59 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count. Incrementing does not allocate
+ */
+public final class Counter implements Metric {
+
+    private final String name;
+    private final String help;
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * @param name The metric name, should end in {@code _total}
+     * @param help The help text shown to Prometheus
+     */
+    public Counter(@NotNull String name, @NotNull String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    /**
+     * Adds one to the counter
+     */
+    public void inc() {
+        value.increment();
+    }
+
+    /**
+     * @param amount The non-negative amount to add
+     */
+    public void inc(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters can only be increased");
+        }
+        value.add(amount);
+    }
+
+    /**
+     * @return The current count
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public @NotNull String name() {
+        return name;
+    }
+
+    @Override
+    public void write(@NotNull StringBuilder out) {
+        Metric.writeHeader(out, name, help, "counter");
+        out.append(name).append(' ').append(value.sum()).append('\n');
+    }
+}
@@ -0,0 +1,72 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A value that can go up and down.
+ * Either set explicitly with {@link #set(double)} or read from a supplier when scraped
+ */
+public final class Gauge implements Metric {
+
+    private final String name;
+    private final String help;
+    private final @Nullable DoubleSupplier supplier;
+    private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    /**
+     * Creates a gauge that is set with {@link #set(double)}
+     *
+     * @param name The metric name
+     * @param help The help text shown to Prometheus
+     */
+    public Gauge(@NotNull String name, @NotNull String help) {
+        this(name, help, null);
+    }
+
+    /**
+     * Creates a gauge that is read from {@code supplier} on every scrape, off the tick thread
+     *
+     * @param name     The metric name
+     * @param help     The help text shown to Prometheus
+     * @param supplier Where to read the value from
+     */
+    public Gauge(@NotNull String name, @NotNull String help, @Nullable DoubleSupplier supplier) {
+        this.name = name;
+        this.help = help;
+        this.supplier = supplier;
+    }
+
+    /**
+     * @param value The new value
+     */
+    public void set(double value) {
+        bits.set(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * @return The current value
+     */
+    public double get() {
+        if (supplier != null) {
+            return supplier.getAsDouble();
+        }
+        return Double.longBitsToDouble(bits.get());
+    }
+
+    @Override
+    public @NotNull String name() {
+        return name;
+    }
+
+    @Override
+    public void write(@NotNull StringBuilder out) {
+        Metric.writeHeader(out, name, help, "gauge");
+        out.append(name).append(' ');
+        Metric.writeValue(out, get());
+        out.append('\n');
+    }
+}
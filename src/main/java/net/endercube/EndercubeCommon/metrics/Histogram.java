@@ -0,0 +1,86 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * A distribution of observations over fixed buckets.
+ * Observing only touches preallocated counters, so it is safe to call on the tick thread
+ */
+public final class Histogram implements Metric {
+
+    private final String name;
+    private final String help;
+    private final double[] upperBounds;
+    // One slot per bound plus the +Inf bucket, stored non-cumulatively
+    private final AtomicLongArray buckets;
+    private final DoubleAdder sum = new DoubleAdder();
+
+    /**
+     * @param name        The metric name
+     * @param help        The help text shown to Prometheus
+     * @param upperBounds The bucket upper bounds in ascending order, without +Inf
+     */
+    public Histogram(@NotNull String name, @NotNull String help, double @NotNull ... upperBounds) {
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Histogram buckets must be in ascending order");
+            }
+        }
+        this.name = name;
+        this.help = help;
+        this.upperBounds = Arrays.copyOf(upperBounds, upperBounds.length);
+        this.buckets = new AtomicLongArray(upperBounds.length + 1);
+    }
+
+    /**
+     * Records one observation
+     *
+     * @param value The observed value
+     */
+    public void observe(double value) {
+        int i = 0;
+        while (i < upperBounds.length && value > upperBounds[i]) {
+            i++;
+        }
+        buckets.incrementAndGet(i);
+        sum.add(value);
+    }
+
+    /**
+     * Records a duration given in nanoseconds as seconds
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void observeNanos(long nanos) {
+        observe(nanos / 1_000_000_000d);
+    }
+
+    @Override
+    public @NotNull String name() {
+        return name;
+    }
+
+    @Override
+    public void write(@NotNull StringBuilder out) {
+        Metric.writeHeader(out, name, help, "histogram");
+
+        long cumulative = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            cumulative += buckets.get(i);
+            out.append(name).append("_bucket{le=\"");
+            Metric.writeValue(out, upperBounds[i]);
+            out.append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += buckets.get(upperBounds.length);
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+
+        out.append(name).append("_sum ");
+        Metric.writeValue(out, sum.sum());
+        out.append('\n');
+        out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,45 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * A gauge with one sample per registered {@link Instance}, labelled {@code instance_id} with the instance's UUID.
+ * Prometheus reserves the {@code instance} label for the scrape target, so it isn't used here.
+ * Values are read when scraped, so nothing is done on the tick thread
+ */
+public final class InstanceMetric implements Metric {
+
+    private final String name;
+    private final String help;
+    private final ToIntFunction<Instance> reader;
+
+    /**
+     * @param name   The metric name
+     * @param help   The help text shown to Prometheus
+     * @param reader Reads the value for a single instance
+     */
+    public InstanceMetric(@NotNull String name, @NotNull String help, @NotNull ToIntFunction<Instance> reader) {
+        this.name = name;
+        this.help = help;
+        this.reader = reader;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return name;
+    }
+
+    @Override
+    public void write(@NotNull StringBuilder out) {
+        Metric.writeHeader(out, name, help, "gauge");
+        for (Instance instance : MinecraftServer.getInstanceManager().getInstances()) {
+            out.append(name).append("{instance_id=");
+            Metric.writeLabelValue(out, instance.getUniqueId().toString());
+            out.append("} ").append(reader.applyAsInt(instance)).append('\n');
+        }
+    }
+}
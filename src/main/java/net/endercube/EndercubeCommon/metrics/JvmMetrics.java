@@ -0,0 +1,52 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Heap usage and garbage collector activity, read from the platform MXBeans when scraped
+ */
+public final class JvmMetrics implements Metric {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    @Override
+    public @NotNull String name() {
+        return "jvm";
+    }
+
+    @Override
+    public void write(@NotNull StringBuilder out) {
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        writeGauge(out, "jvm_memory_heap_used_bytes", "Heap memory currently in use", heap.getUsed());
+        writeGauge(out, "jvm_memory_heap_committed_bytes", "Heap memory committed by the JVM", heap.getCommitted());
+        writeGauge(out, "jvm_memory_heap_max_bytes", "Maximum heap memory, -1 if undefined", heap.getMax());
+
+        Metric.writeHeader(out, "jvm_gc_collections_total", "Number of collections per garbage collector", "counter");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.append("jvm_gc_collections_total{gc=");
+            Metric.writeLabelValue(out, collector.getName());
+            out.append("} ").append(Math.max(0, collector.getCollectionCount())).append('\n');
+        }
+
+        Metric.writeHeader(out, "jvm_gc_collection_seconds_total", "Time spent in each garbage collector", "counter");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.append("jvm_gc_collection_seconds_total{gc=");
+            Metric.writeLabelValue(out, collector.getName());
+            out.append("} ");
+            Metric.writeValue(out, Math.max(0, collector.getCollectionTime()) / 1000d);
+            out.append('\n');
+        }
+    }
+
+    private static void writeGauge(StringBuilder out, String name, String help, long value) {
+        Metric.writeHeader(out, name, help, "gauge");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,74 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Something that can be written out in the Prometheus text exposition format
+ */
+public interface Metric {
+
+    /**
+     * @return The metric family name, e.g. {@code endercube_tick_duration_seconds}
+     */
+    @NotNull String name();
+
+    /**
+     * Writes this metric's {@code # HELP}, {@code # TYPE} and sample lines
+     *
+     * @param out The {@link StringBuilder} to append to
+     */
+    void write(@NotNull StringBuilder out);
+
+    /**
+     * Appends the {@code # HELP} and {@code # TYPE} header for a metric family
+     *
+     * @param out  The {@link StringBuilder} to append to
+     * @param name The metric family name
+     * @param help The help text
+     * @param type The Prometheus type, e.g. {@code counter}
+     */
+    static void writeHeader(@NotNull StringBuilder out, @NotNull String name, @NotNull String help, @NotNull String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Appends a sample value, using the Prometheus spelling for infinities and NaN
+     *
+     * @param out   The {@link StringBuilder} to append to
+     * @param value The value to append
+     */
+    static void writeValue(@NotNull StringBuilder out, double value) {
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (value == Double.POSITIVE_INFINITY) {
+            out.append("+Inf");
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            out.append("-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Appends a label value, escaping it as the exposition format requires
+     *
+     * @param out   The {@link StringBuilder} to append to
+     * @param value The raw label value
+     */
+    static void writeLabelValue(@NotNull StringBuilder out, @NotNull String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
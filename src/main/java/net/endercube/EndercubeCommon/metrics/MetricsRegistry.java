@@ -0,0 +1,48 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds every {@link Metric} that is exported on a scrape
+ */
+public final class MetricsRegistry {
+
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds a metric to the registry
+     *
+     * @param metric The metric to add
+     * @return The same metric, so it can be stored in a field
+     */
+    public <T extends Metric> @NotNull T register(@NotNull T metric) {
+        for (Metric existing : metrics) {
+            if (existing.name().equals(metric.name())) {
+                throw new IllegalArgumentException("A metric called " + metric.name() + " is already registered");
+            }
+        }
+        metrics.add(metric);
+        return metric;
+    }
+
+    /**
+     * @param name The name of the metric to remove
+     */
+    public void unregister(@NotNull String name) {
+        metrics.removeIf(metric -> metric.name().equals(name));
+    }
+
+    /**
+     * @return Every registered metric in the Prometheus text exposition format
+     */
+    public @NotNull String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Metric metric : metrics) {
+            metric.write(out);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A small HTTP listener that serves a {@link MetricsRegistry} on {@code /metrics} for Prometheus to scrape
+ */
+public final class MetricsServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Logger logger;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Binds the listener, call {@link #start()} to begin serving
+     *
+     * @param registry The registry to serve
+     * @param hostname The address to bind to
+     * @param port     The port to bind to
+     * @throws IOException If the address cannot be bound
+     */
+    public MetricsServer(@NotNull MetricsRegistry registry, @NotNull String hostname, int port) throws IOException {
+        this.logger = LoggerFactory.getLogger(MetricsServer.class);
+        this.server = HttpServer.create(new InetSocketAddress(hostname, port), 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Endercube-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server.createContext("/metrics", exchange -> {
+            try {
+                if (!exchange.getRequestMethod().equals("GET")) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream stream = exchange.getResponseBody()) {
+                    stream.write(body);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to serve metrics: " + e.getMessage());
+            } finally {
+                exchange.close();
+            }
+        });
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts serving requests
+     */
+    public void start() {
+        server.start();
+        logger.info("Serving metrics on http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/metrics");
+    }
+
+    /**
+     * Stops the listener and its thread
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,84 @@
+package net.endercube.EndercubeCommon.metrics;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.server.ServerTickMonitorEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The metrics every Endercube server exports
+ */
+public final class ServerMetrics {
+
+    private final MetricsRegistry registry;
+    private final Histogram tickDuration;
+    private final Histogram databaseCallDuration;
+    private final Counter databaseErrors;
+
+    /**
+     * Registers the standard metrics to {@code registry}
+     *
+     * @param registry The registry to add to
+     */
+    public ServerMetrics(@NotNull MetricsRegistry registry) {
+        this.registry = registry;
+
+        tickDuration = registry.register(new Histogram(
+                "endercube_tick_duration_seconds",
+                "Time taken by each server tick",
+                0.005, 0.01, 0.025, 0.04, 0.05, 0.075, 0.1, 0.25, 0.5
+        ));
+        registry.register(new Gauge(
+                "endercube_online_players",
+                "Players currently online",
+                () -> MinecraftServer.getConnectionManager().getOnlinePlayers().size()
+        ));
+        registry.register(new InstanceMetric(
+                "endercube_instance_entities",
+                "Entities in each instance",
+                instance -> instance.getEntities().size()
+        ));
+        registry.register(new InstanceMetric(
+                "endercube_instance_chunks",
+                "Loaded chunks in each instance",
+                instance -> instance.getChunks().size()
+        ));
+        databaseCallDuration = registry.register(new Histogram(
+                "endercube_database_call_seconds",
+                "Latency of DatabaseWrapper calls",
+                0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 1
+        ));
+        databaseErrors = registry.register(new Counter(
+                "endercube_database_errors_total",
+                "DatabaseWrapper calls that threw an exception"
+        ));
+        registry.register(new JvmMetrics());
+    }
+
+    /**
+     * Records tick durations from {@link ServerTickMonitorEvent}
+     *
+     * @param eventNode The node to listen on
+     */
+    public void listen(@NotNull EventNode<Event> eventNode) {
+        eventNode.addListener(ServerTickMonitorEvent.class, event ->
+                tickDuration.observe(event.getTickMonitor().getTickTime() / 1000d));
+    }
+
+    public @NotNull MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    public @NotNull Histogram getTickDuration() {
+        return tickDuration;
+    }
+
+    public @NotNull Histogram getDatabaseCallDuration() {
+        return databaseCallDuration;
+    }
+
+    public @NotNull Counter getDatabaseErrors() {
+        return databaseErrors;
+    }
+}
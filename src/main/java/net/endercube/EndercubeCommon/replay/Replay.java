@@ -0,0 +1,161 @@
+package net.endercube.EndercubeCommon.replay;
+
+import net.minestom.server.coordinate.Pos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A recorded run, one {@link Pos} per tick.
+ * Frames are decoded one at a time while iterating, so a long replay is never expanded in memory
+ *
+ * <p>Format: a version byte, the frame count as a varint, then one frame per tick.
+ * Each frame starts with a byte of flags saying which values changed since the previous frame,
+ * followed by zigzag varint deltas for x, y and z in 1/{@value #POSITION_SCALE} blocks
+ * and single byte deltas for yaw and pitch in 1/256 turns</p>
+ */
+public final class Replay implements Iterable<Pos> {
+
+    static final byte VERSION = 1;
+    static final int POSITION_SCALE = 256;
+    static final float ANGLE_SCALE = 256f / 360f;
+
+    static final int CHANGED_X = 1;
+    static final int CHANGED_Y = 1 << 1;
+    static final int CHANGED_Z = 1 << 2;
+    static final int CHANGED_YAW = 1 << 3;
+    static final int CHANGED_PITCH = 1 << 4;
+
+    private final byte[] data;
+    private final int frameCount;
+    private final int framesOffset;
+
+    private Replay(byte[] data, int frameCount, int framesOffset) {
+        this.data = data;
+        this.frameCount = frameCount;
+        this.framesOffset = framesOffset;
+    }
+
+    /**
+     * Reads a replay written by {@link #toBytes()}.
+     * The replay takes ownership of {@code data} without copying it, so the array must not be changed afterwards
+     *
+     * @param data The encoded replay
+     * @return The replay
+     * @throws IllegalArgumentException If the data isn't a replay this version can read
+     */
+    public static @NotNull Replay fromBytes(byte @NotNull [] data) {
+        if (data.length < 2 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " replay");
+        }
+        Reader reader = new Reader(data, 1);
+        long frameCount = reader.readVarLong();
+        if (frameCount < 0 || frameCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Replay has an invalid frame count");
+        }
+        return new Replay(data, (int) frameCount, reader.offset);
+    }
+
+    /**
+     * @return The number of frames, one per tick
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets the encoded replay for storage. This is the replay's own array, not a copy, so it must not be changed
+     *
+     * @return The encoded replay
+     */
+    public byte @NotNull [] toBytes() {
+        return data;
+    }
+
+    /**
+     * @return The size of the encoded replay in bytes
+     */
+    public int getSize() {
+        return data.length;
+    }
+
+    /**
+     * @return An iterator that decodes a frame each time {@code next()} is called
+     */
+    @Override
+    public @NotNull Iterator<Pos> iterator() {
+        return new FrameIterator();
+    }
+
+    private final class FrameIterator implements Iterator<Pos> {
+        private final Reader reader = new Reader(data, framesOffset);
+        private int framesRead;
+        private long x;
+        private long y;
+        private long z;
+        private byte yaw;
+        private byte pitch;
+
+        @Override
+        public boolean hasNext() {
+            return framesRead < frameCount;
+        }
+
+        @Override
+        public Pos next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int flags = reader.readByte();
+            if ((flags & CHANGED_X) != 0) x += reader.readZigZag();
+            if ((flags & CHANGED_Y) != 0) y += reader.readZigZag();
+            if ((flags & CHANGED_Z) != 0) z += reader.readZigZag();
+            if ((flags & CHANGED_YAW) != 0) yaw += (byte) reader.readByte();
+            if ((flags & CHANGED_PITCH) != 0) pitch += (byte) reader.readByte();
+            framesRead++;
+
+            return new Pos(
+                    (double) x / POSITION_SCALE,
+                    (double) y / POSITION_SCALE,
+                    (double) z / POSITION_SCALE,
+                    yaw / ANGLE_SCALE,
+                    pitch / ANGLE_SCALE
+            );
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int offset;
+
+        Reader(byte[] data, int offset) {
+            this.data = data;
+            this.offset = offset;
+        }
+
+        int readByte() {
+            if (offset >= data.length) {
+                throw new IllegalStateException("Replay data ended early");
+            }
+            return data[offset++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Replay varint is too long");
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
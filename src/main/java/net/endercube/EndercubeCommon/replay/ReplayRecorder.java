@@ -0,0 +1,138 @@
+package net.endercube.EndercubeCommon.replay;
+
+import net.minestom.server.coordinate.Pos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Records a player's position and rotation every tick into a compact {@link Replay}.
+ * Positions are quantized and delta encoded, and the recorder stops accepting frames
+ * once {@code maxFrames} is reached, so memory use per recording is bounded
+ */
+public final class ReplayRecorder {
+
+    // Flags byte, three 10 byte varints and two angle bytes
+    private static final int MAX_FRAME_SIZE = 1 + 3 * 10 + 2;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxFrames;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int size;
+    private int frameCount;
+
+    private long lastX;
+    private long lastY;
+    private long lastZ;
+    private byte lastYaw;
+    private byte lastPitch;
+
+    /**
+     * @param maxFrames The most ticks to record, e.g. {@code 20 * 60 * 10} for ten minutes
+     */
+    public ReplayRecorder(int maxFrames) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("maxFrames must be positive");
+        }
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Records one tick. Only allocates when the buffer needs to grow
+     *
+     * @param position The player's position this tick
+     * @return false if the recorder is full and the frame was dropped
+     */
+    public boolean record(@NotNull Pos position) {
+        if (frameCount >= maxFrames) {
+            return false;
+        }
+        ensureCapacity(size + MAX_FRAME_SIZE);
+
+        long x = Math.round(position.x() * Replay.POSITION_SCALE);
+        long y = Math.round(position.y() * Replay.POSITION_SCALE);
+        long z = Math.round(position.z() * Replay.POSITION_SCALE);
+        byte yaw = (byte) Math.round(position.yaw() * Replay.ANGLE_SCALE);
+        byte pitch = (byte) Math.round(position.pitch() * Replay.ANGLE_SCALE);
+
+        int flagsIndex = size++;
+        int flags = 0;
+        if (x != lastX) {
+            flags |= Replay.CHANGED_X;
+            writeZigZag(x - lastX);
+        }
+        if (y != lastY) {
+            flags |= Replay.CHANGED_Y;
+            writeZigZag(y - lastY);
+        }
+        if (z != lastZ) {
+            flags |= Replay.CHANGED_Z;
+            writeZigZag(z - lastZ);
+        }
+        if (yaw != lastYaw) {
+            flags |= Replay.CHANGED_YAW;
+            buffer[size++] = (byte) (yaw - lastYaw);
+        }
+        if (pitch != lastPitch) {
+            flags |= Replay.CHANGED_PITCH;
+            buffer[size++] = (byte) (pitch - lastPitch);
+        }
+        buffer[flagsIndex] = (byte) flags;
+
+        lastX = x;
+        lastY = y;
+        lastZ = z;
+        lastYaw = yaw;
+        lastPitch = pitch;
+        frameCount++;
+        return true;
+    }
+
+    /**
+     * @return Whether {@code maxFrames} has been reached
+     */
+    public boolean isFull() {
+        return frameCount >= maxFrames;
+    }
+
+    /**
+     * @return The number of frames recorded so far
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return Everything recorded so far as a {@link Replay}
+     */
+    public @NotNull Replay finish() {
+        byte[] header = new byte[11];
+        header[0] = Replay.VERSION;
+        int headerSize = writeVarLong(header, 1, frameCount);
+
+        byte[] out = new byte[headerSize + size];
+        System.arraycopy(header, 0, out, 0, headerSize);
+        System.arraycopy(buffer, 0, out, headerSize, size);
+        return Replay.fromBytes(out);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+    }
+
+    private void writeZigZag(long value) {
+        size = writeVarLong(buffer, size, (value << 1) ^ (value >> 63));
+    }
+
+    // Returns the offset after the written varint
+    private static int writeVarLong(byte[] out, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[offset++] = (byte) value;
+        return offset;
+    }
+}
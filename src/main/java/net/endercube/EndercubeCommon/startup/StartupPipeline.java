@@ -0,0 +1,186 @@
+package net.endercube.EndercubeCommon.startup;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs named startup phases in dependency order.
+ * A phase starts as soon as everything it depends on has finished, so independent phases run at the same time
+ *
+ * <p>Phases run on a pool of daemon threads, and any thread they create is a daemon too.
+ * Anything that starts long-lived threads, like Minestom, should be added with {@link #addInlinePhase}
+ * so it runs on the thread that called {@link #run()}</p>
+ */
+public final class StartupPipeline {
+
+    private final Logger logger;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    public StartupPipeline() {
+        this.logger = LoggerFactory.getLogger(StartupPipeline.class);
+    }
+
+    /**
+     * Adds a phase to the pipeline
+     *
+     * @param name      A unique name for the phase, used in logs and by other phases' dependencies
+     * @param action    The work to do
+     * @param dependsOn The names of phases that must finish first
+     * @return The pipeline
+     */
+    public StartupPipeline addPhase(@NotNull String name, @NotNull Runnable action, @NotNull String... dependsOn) {
+        return add(name, action, dependsOn, false);
+    }
+
+    /**
+     * Adds a phase that runs on the thread that calls {@link #run()}, rather than on the startup pool
+     *
+     * @param name      A unique name for the phase, used in logs and by other phases' dependencies
+     * @param action    The work to do
+     * @param dependsOn The names of phases that must finish first
+     * @return The pipeline
+     */
+    public StartupPipeline addInlinePhase(@NotNull String name, @NotNull Runnable action, @NotNull String... dependsOn) {
+        return add(name, action, dependsOn, true);
+    }
+
+    private StartupPipeline add(String name, Runnable action, String[] dependsOn, boolean inline) {
+        if (phases.containsKey(name)) {
+            throw new IllegalArgumentException("A startup phase called " + name + " already exists");
+        }
+        phases.put(name, new Phase(name, action, List.of(dependsOn), inline));
+        return this;
+    }
+
+    /**
+     * @return The names of every phase added so far
+     */
+    public @NotNull Set<String> phaseNames() {
+        return Set.copyOf(phases.keySet());
+    }
+
+    /**
+     * Runs every phase and blocks until they are all done, logging how long each one took
+     *
+     * @throws RuntimeException If a phase throws, after every phase that does not depend on it has finished
+     */
+    public void run() {
+        List<Phase> order = sort();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, order.size()), runnable -> {
+            Thread thread = new Thread(runnable, "Endercube-Startup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long pipelineStart = System.nanoTime();
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        List<Phase> inlinePhases = new ArrayList<>();
+        try {
+            for (Phase phase : order) {
+                if (phase.inline()) {
+                    // Completed below, once the phase has run on this thread
+                    futures.put(phase.name(), new CompletableFuture<>());
+                    inlinePhases.add(phase);
+                } else {
+                    futures.put(phase.name(), dependenciesOf(phase, futures)
+                            .thenRunAsync(() -> runPhase(phase), executor));
+                }
+            }
+
+            // Inline phases are in dependency order, so each one's dependencies are already scheduled or done
+            for (Phase phase : inlinePhases) {
+                CompletableFuture<Void> future = futures.get(phase.name());
+                try {
+                    dependenciesOf(phase, futures).join();
+                    runPhase(phase);
+                    future.complete(null);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdown();
+        }
+
+        logger.info("Startup finished in " + (System.nanoTime() - pipelineStart) / 1_000_000 + "ms");
+    }
+
+    private static CompletableFuture<Void> dependenciesOf(Phase phase, Map<String, CompletableFuture<Void>> futures) {
+        return CompletableFuture.allOf(phase.dependsOn().stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void runPhase(Phase phase) {
+        long start = System.nanoTime();
+        try {
+            phase.action().run();
+        } catch (RuntimeException e) {
+            logger.error("Startup phase " + phase.name() + " failed", e);
+            throw e;
+        }
+        logger.info("Startup phase " + phase.name() + " took " + (System.nanoTime() - start) / 1_000_000 + "ms");
+    }
+
+    // Orders phases so every phase comes after its dependencies
+    private List<Phase> sort() {
+        List<Phase> order = new ArrayList<>();
+        Set<String> done = new HashSet<>();
+        List<String> path = new ArrayList<>();
+        for (Phase phase : phases.values()) {
+            visit(phase, done, path, order);
+        }
+        return order;
+    }
+
+    // path holds the phases currently being visited, so finding one again means there is a cycle
+    private void visit(Phase phase, Set<String> done, List<String> path, List<Phase> order) {
+        if (done.contains(phase.name())) {
+            return;
+        }
+        int cycleStart = path.indexOf(phase.name());
+        if (cycleStart != -1) {
+            List<String> cycle = new ArrayList<>(path.subList(cycleStart, path.size()));
+            cycle.add(phase.name());
+            throw new IllegalStateException("Startup phases form a cycle: " + String.join(" -> ", cycle));
+        }
+        path.add(phase.name());
+        for (String dependency : phase.dependsOn()) {
+            Phase dependencyPhase = phases.get(dependency);
+            if (dependencyPhase == null) {
+                throw new IllegalStateException("Startup phase " + phase.name() + " depends on unknown phase " + dependency);
+            }
+            visit(dependencyPhase, done, path, order);
+        }
+        path.remove(path.size() - 1);
+        done.add(phase.name());
+        order.add(phase);
+    }
+
+    private record Phase(String name, Runnable action, List<String> dependsOn, boolean inline) {
+    }
+}
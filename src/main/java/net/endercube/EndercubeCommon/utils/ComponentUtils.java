@@ -60,7 +60,7 @@ public final class ComponentUtils {
         return spacePrefix(measureLegacyText(legacyTextMessage));
     }
 
-    private static int measureLegacyText(final @NotNull String legacyTextMessage) {
+    static int measureLegacyText(final @NotNull String legacyTextMessage) {
         int messagePxSize = 0;
         boolean previousCode = false;
         boolean isBold = false;
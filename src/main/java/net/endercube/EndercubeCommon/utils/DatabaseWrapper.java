@@ -1,5 +1,7 @@
 package net.endercube.EndercubeCommon.utils;
 
+import net.endercube.EndercubeCommon.metrics.ServerMetrics;
+import net.endercube.EndercubeCommon.replay.Replay;
 import net.minestom.server.entity.Player;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -7,16 +9,48 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.JedisPooled;
 import redis.clients.jedis.resps.Tuple;
 
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * An abstracted interface for SQL designed for Endercube
  */
 public class DatabaseWrapper {
 
+    // KEYS: times, replays. ARGV: player, time
+    static final String ADD_TIME_SCRIPT = """
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            return 1
+            """;
+
+    // KEYS: times, replays. ARGV: player, time, replay
+    static final String ADD_TIME_WITH_REPLAY_SCRIPT = """
+            local current = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if current and tonumber(current) <= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+            return 1
+            """;
+
+    // KEYS: times, replays. ARGV: player
+    static final String REMOVE_TIME_SCRIPT = """
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            return 1
+            """;
+    private static final byte[] ADD_TIME_WITH_REPLAY_SCRIPT_BYTES = ADD_TIME_WITH_REPLAY_SCRIPT.getBytes(StandardCharsets.UTF_8);
+
     private final Logger logger;
     private final JedisPooled jedis;
     private final String nameSpace;
+    private final @Nullable ServerMetrics metrics;
 
     /**
      * An abstraction for Endercube database calls
@@ -25,26 +59,72 @@ public class DatabaseWrapper {
      * @param nameSpace The prefix for all keys, does not need a colon on the end
      */
     public DatabaseWrapper(JedisPooled jedis, String nameSpace) {
+        this(jedis, nameSpace, null);
+    }
+
+    /**
+     * An abstraction for Endercube database calls that records call latency and errors
+     *
+     * @param jedis     A {@code JedisPooled} to get jedis instances from
+     * @param nameSpace The prefix for all keys, does not need a colon on the end
+     * @param metrics   The {@link ServerMetrics} to record to, or null to not record anything
+     */
+    public DatabaseWrapper(JedisPooled jedis, String nameSpace, @Nullable ServerMetrics metrics) {
         this.jedis = jedis;
         this.nameSpace = nameSpace + ":";
+        this.metrics = metrics;
         this.logger = LoggerFactory.getLogger(DatabaseWrapper.class);
     }
 
     /**
-     * Adds a time to the database
+     * Adds a time to the database, overwriting the player's current time.
+     * Any stored replay for the player is deleted, as it would no longer match their time
      *
      * @param player The player the time belongs to
      * @param course The {@link String} id of the course to look up
      * @param time   The time in milliseconds
      */
     public void addTime(Player player, String course, Long time) {
-        jedis.zadd(nameSpace + course + ":times", time, player.getUuid().toString());
+        timed(() -> jedis.eval(ADD_TIME_SCRIPT,
+                List.of(timesKey(course), replaysKey(course)),
+                List.of(player.getUuid().toString(), time.toString())));
         logger.debug("Added run to the database with:");
         logger.debug("    player: " + player.getUsername());
         logger.debug("    course: " + course);
         logger.debug("    time: " + time);
     }
 
+    /**
+     * Adds a time to the database along with its replay.
+     * The time and replay are only stored if the time beats the player's current time on the leaderboard,
+     * so each player keeps a single personal best replay next to the course's times.
+     * The comparison and both writes happen in one script, so the time and replay always belong to the same run
+     *
+     * @param player The player the time belongs to
+     * @param course The {@link String} id of the course to look up
+     * @param time   The time in milliseconds
+     * @param replay The recording of the run
+     * @return Whether the time was a personal best and was stored
+     */
+    public boolean addTime(Player player, String course, Long time, Replay replay) {
+        String uuid = player.getUuid().toString();
+        Object stored = timed(() -> jedis.eval(ADD_TIME_WITH_REPLAY_SCRIPT_BYTES,
+                List.of(bytes(timesKey(course)), bytes(replaysKey(course))),
+                List.of(bytes(uuid), bytes(time.toString()), replay.toBytes())));
+        boolean personalBest = Long.valueOf(1).equals(stored);
+
+        if (personalBest) {
+            logger.debug("Added run to the database with:");
+            logger.debug("    player: " + player.getUsername());
+            logger.debug("    course: " + course);
+            logger.debug("    time: " + time);
+            logger.debug("    replay: " + replay.getFrameCount() + " frames, " + replay.getSize() + " bytes");
+        } else {
+            logger.debug("Discarded " + player.getUsername() + "'s run on " + course + " as it isn't a personal best");
+        }
+        return personalBest;
+    }
+
     /**
      * Removes a player's times from the leaderboard
      *
@@ -52,7 +132,9 @@ public class DatabaseWrapper {
      * @param course The course to remove times from
      */
     public void removeTime(Player player, String course) {
-        jedis.zrem(nameSpace + course + ":times", player.getUuid().toString());
+        timed(() -> jedis.eval(REMOVE_TIME_SCRIPT,
+                List.of(timesKey(course), replaysKey(course)),
+                List.of(player.getUuid().toString())));
         logger.debug("Removed " + player.getUsername() + "'s times for " + course);
     }
 
@@ -76,7 +158,80 @@ public class DatabaseWrapper {
     @Nullable
     public List<Tuple> getLeaderboard(String course, int minRange, int maxRange) {
         logger.debug("Getting leaderboard for " + course + " in range " + minRange + " to " + maxRange);
-        return jedis.zrangeWithScores(nameSpace + course + ":times", minRange, maxRange);
+        return timed(() -> jedis.zrangeWithScores(timesKey(course), minRange, maxRange));
+    }
+
+    /**
+     * Gets a player's personal best replay
+     *
+     * @param course The course to get the replay for
+     * @param player The UUID of the player
+     * @return The {@link Replay}, or null if the player has no stored replay
+     */
+    @Nullable
+    public Replay getReplay(String course, UUID player) {
+        byte[] data = timed(() -> jedis.hget(bytes(replaysKey(course)), bytes(player.toString())));
+        if (data == null) {
+            return null;
+        }
+        return Replay.fromBytes(data);
+    }
+
+    /**
+     * Gets the replays of the fastest runs on a course, for racing against
+     *
+     * @param course   The course to get replays for
+     * @param maxRange an {@code int} for the nth maximum result
+     * @return A {@code Map} of player UUIDs to replays, fastest first. Players without a stored replay are left out
+     */
+    public Map<String, Replay> getLeaderboardReplays(String course, int maxRange) {
+        List<String> players = timed(() -> jedis.zrange(timesKey(course), 0, maxRange));
+        if (players.isEmpty()) {
+            return Map.of();
+        }
+
+        byte[][] fields = new byte[players.size()][];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = bytes(players.get(i));
+        }
+        List<byte[]> replays = timed(() -> jedis.hmget(bytes(replaysKey(course)), fields));
+
+        // Replays are only decoded as they are iterated, so this just wraps the stored bytes
+        Map<String, Replay> out = new LinkedHashMap<>();
+        for (int i = 0; i < players.size(); i++) {
+            if (replays.get(i) != null) {
+                out.put(players.get(i), Replay.fromBytes(replays.get(i)));
+            }
+        }
+        return out;
+    }
+
+    private String timesKey(String course) {
+        return nameSpace + course + ":times";
+    }
+
+    private String replaysKey(String course) {
+        return nameSpace + course + ":replays";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 
+    // Runs a single Redis call, recording its latency and any error to the metrics
+    private <T> T timed(Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            if (metrics != null) {
+                metrics.getDatabaseErrors().inc();
+            }
+            throw e;
+        } finally {
+            if (metrics != null) {
+                metrics.getDatabaseCallDuration().observeNanos(System.nanoTime() - start);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,266 @@
+package net.endercube.EndercubeCommon.view;
+
+import net.endercube.EndercubeCommon.metrics.Counter;
+import net.endercube.EndercubeCommon.metrics.InstanceMetric;
+import net.endercube.EndercubeCommon.metrics.ServerMetrics;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.EventNode;
+import net.minestom.server.event.player.PlayerDisconnectEvent;
+import net.minestom.server.event.player.PlayerSpawnEvent;
+import net.minestom.server.event.server.ServerTickMonitorEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.timer.TaskSchedule;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Lowers and raises each instance's entity view distance to keep ticks inside a target time.
+ *
+ * <p>Once a second the average tick time and the number of entity viewers (a stand-in for outbound
+ * entity traffic, which Minestom doesn't expose) are checked. Under pressure the busiest instance
+ * loses a chunk of entity view distance. Once ticks and viewers have both stayed well under their
+ * limits for a few consecutive seconds, the most reduced instance gets a chunk back.</p>
+ *
+ * <p>The limit is applied through players' viewer rules, so games keep full use of entities' viewable rules.
+ * A game that needs its own viewer rule should set it with {@link #setViewerRule}, which combines it with the limit.
+ * Chunk view distance isn't adjusted, as Minestom's chunk radius is fixed at startup</p>
+ */
+public final class ViewDistanceController {
+
+    private static final int CHECK_INTERVAL_TICKS = 20;
+    // Consecutive calm seconds needed before raising a distance again
+    private static final int CALM_CHECKS_BEFORE_RAISE = 5;
+    // Ticks and viewers below these fractions of their limits count as calm
+    private static final double CALM_TICK_FRACTION = 0.6;
+    private static final double CALM_VIEWER_FRACTION = 0.7;
+    private static final Predicate<Entity> SEE_EVERYTHING = entity -> true;
+
+    private final Logger logger;
+    private final int minEntityChunks;
+    private final int maxEntityChunks;
+    private final double targetTickMillis;
+    private final long maxEntityViewers;
+    private final Map<UUID, InstanceView> views = new ConcurrentHashMap<>();
+    private final Map<UUID, Predicate<Entity>> gameViewerRules = new ConcurrentHashMap<>();
+    // Players whose viewer rule currently includes the range limit
+    private final Set<UUID> limitedPlayers = ConcurrentHashMap.newKeySet();
+    private final LongAdder tickNanos = new LongAdder();
+    private final LongAdder tickCount = new LongAdder();
+    private final Counter changes;
+    private int calmChecks;
+
+    /**
+     * @param minEntityChunks  The lowest entity view distance to drop to, in chunks
+     * @param maxEntityChunks  The normal entity view distance, in chunks
+     * @param targetTickMillis The tick time to stay under
+     * @param maxEntityViewers The total number of entity viewers across all instances to stay under
+     * @param metrics          Where to report the current distances and changes
+     */
+    public ViewDistanceController(int minEntityChunks, int maxEntityChunks, double targetTickMillis,
+                                  long maxEntityViewers, @NotNull ServerMetrics metrics) {
+        if (minEntityChunks > maxEntityChunks) {
+            throw new IllegalArgumentException("The entity view distance minimum must not be above its maximum");
+        }
+        this.logger = LoggerFactory.getLogger(ViewDistanceController.class);
+        this.minEntityChunks = minEntityChunks;
+        this.maxEntityChunks = maxEntityChunks;
+        this.targetTickMillis = targetTickMillis;
+        this.maxEntityViewers = maxEntityViewers;
+
+        changes = metrics.getRegistry().register(new Counter(
+                "endercube_view_distance_changes_total",
+                "Entity view distance changes made by the adaptive controller"
+        ));
+        metrics.getRegistry().register(new InstanceMetric(
+                "endercube_instance_entity_view_distance_chunks",
+                "Entity view distance set by the adaptive controller",
+                instance -> view(instance).entityChunks
+        ));
+    }
+
+    /**
+     * Starts watching tick times and applying distances
+     *
+     * @param eventNode The node to listen on
+     */
+    public void start(@NotNull EventNode<Event> eventNode) {
+        eventNode.addListener(ServerTickMonitorEvent.class, event -> {
+            tickNanos.add((long) (event.getTickMonitor().getTickTime() * 1_000_000));
+            tickCount.increment();
+        });
+
+        // Players joining or changing instance get that instance's limit, or have it lifted
+        eventNode.addListener(PlayerSpawnEvent.class, event -> applyViewerRule(event.getPlayer(), event.getSpawnInstance()));
+
+        eventNode.addListener(PlayerDisconnectEvent.class, event -> {
+            gameViewerRules.remove(event.getPlayer().getUuid());
+            limitedPlayers.remove(event.getPlayer().getUuid());
+        });
+
+        MinecraftServer.getSchedulerManager().buildTask(this::check)
+                .repeat(TaskSchedule.tick(CHECK_INTERVAL_TICKS))
+                .schedule();
+
+        logger.info("Adaptive entity view distance enabled: " + minEntityChunks + "-" + maxEntityChunks
+                + " chunks, target tick " + targetTickMillis + "ms, " + maxEntityViewers + " entity viewers");
+    }
+
+    /**
+     * Sets a player's viewer rule, keeping the controller's range limit on top of it.
+     * Use this instead of {@link Player#updateViewerRule(Predicate)} while the controller is running
+     *
+     * @param player The player
+     * @param rule   Which entities the player may see, or null to remove the game's rule
+     */
+    public void setViewerRule(@NotNull Player player, @Nullable Predicate<Entity> rule) {
+        if (rule == null) {
+            gameViewerRules.remove(player.getUuid());
+        } else {
+            gameViewerRules.put(player.getUuid(), rule);
+        }
+
+        Instance instance = player.getInstance();
+        if (instance != null && view(instance).entityChunks < maxEntityChunks) {
+            applyViewerRule(player, instance);
+        } else {
+            limitedPlayers.remove(player.getUuid());
+            player.updateViewerRule(rule == null ? SEE_EVERYTHING : rule);
+        }
+    }
+
+    private void check() {
+        long ticks = tickCount.sumThenReset();
+        long nanos = tickNanos.sumThenReset();
+        if (ticks == 0) {
+            return;
+        }
+        double averageTickMillis = nanos / 1_000_000d / ticks;
+
+        // Forget instances that have been unregistered
+        views.keySet().removeIf(uuid -> MinecraftServer.getInstanceManager().getInstance(uuid) == null);
+
+        Instance busiest = null;
+        long busiestViewers = -1;
+        long totalViewers = 0;
+        for (Instance instance : MinecraftServer.getInstanceManager().getInstances()) {
+            InstanceView view = view(instance);
+
+            // Players and entities move in and out of a reduced range, so keep re-checking it
+            if (view.entityChunks < maxEntityChunks) {
+                for (Player player : instance.getPlayers()) {
+                    player.updateViewerRule();
+                }
+            }
+
+            long viewers = 0;
+            for (Entity entity : instance.getEntities()) {
+                viewers += entity.getViewers().size();
+            }
+            totalViewers += viewers;
+            if (viewers > busiestViewers && view.entityChunks > minEntityChunks) {
+                busiest = instance;
+                busiestViewers = viewers;
+            }
+        }
+
+        if (averageTickMillis > targetTickMillis || totalViewers > maxEntityViewers) {
+            calmChecks = 0;
+            if (busiest != null) {
+                change(busiest, -1, averageTickMillis, totalViewers);
+            }
+            return;
+        }
+
+        boolean calm = averageTickMillis < targetTickMillis * CALM_TICK_FRACTION
+                && totalViewers < maxEntityViewers * CALM_VIEWER_FRACTION;
+        if (!calm) {
+            calmChecks = 0;
+            return;
+        }
+        if (++calmChecks >= CALM_CHECKS_BEFORE_RAISE) {
+            calmChecks = 0;
+            Instance mostReduced = mostReduced();
+            if (mostReduced != null) {
+                change(mostReduced, 1, averageTickMillis, totalViewers);
+            }
+        }
+    }
+
+    private @Nullable Instance mostReduced() {
+        Instance mostReduced = null;
+        int lowest = maxEntityChunks;
+        for (Instance instance : MinecraftServer.getInstanceManager().getInstances()) {
+            int entityChunks = view(instance).entityChunks;
+            if (entityChunks < lowest) {
+                mostReduced = instance;
+                lowest = entityChunks;
+            }
+        }
+        return mostReduced;
+    }
+
+    private void change(Instance instance, int step, double averageTickMillis, long totalViewers) {
+        InstanceView view = view(instance);
+        view.entityChunks += step;
+        for (Player player : instance.getPlayers()) {
+            applyViewerRule(player, instance);
+        }
+        changes.inc();
+        logger.info((step < 0 ? "Lowered" : "Raised") + " entity view distance in " + instance.getUniqueId()
+                + " to " + view.entityChunks + " chunks (tick " + String.format("%.1f", averageTickMillis) + "ms, "
+                + totalViewers + " entity viewers)");
+    }
+
+    // Adds the range limit to a player's viewer rule in a reduced instance, and takes it off again otherwise
+    private void applyViewerRule(Player player, Instance instance) {
+        Predicate<Entity> gameRule = gameViewerRules.get(player.getUuid());
+
+        if (view(instance).entityChunks >= maxEntityChunks) {
+            // Only touch players we limited, so a rule the game set itself is left alone
+            if (limitedPlayers.remove(player.getUuid())) {
+                player.updateViewerRule(gameRule == null ? SEE_EVERYTHING : gameRule);
+            }
+            return;
+        }
+
+        limitedPlayers.add(player.getUuid());
+        player.updateViewerRule(entity -> isInEntityRange(player, entity) && (gameRule == null || gameRule.test(entity)));
+    }
+
+    private boolean isInEntityRange(Player player, Entity entity) {
+        Instance instance = player.getInstance();
+        if (instance == null) {
+            return true;
+        }
+        InstanceView view = views.get(instance.getUniqueId());
+        if (view == null || view.entityChunks >= maxEntityChunks) {
+            return true;
+        }
+        double range = view.entityChunks * 16d;
+        return entity.getPosition().distanceSquared(player.getPosition()) <= range * range;
+    }
+
+    private InstanceView view(Instance instance) {
+        return views.computeIfAbsent(instance.getUniqueId(), uuid -> new InstanceView(maxEntityChunks));
+    }
+
+    private static final class InstanceView {
+        private volatile int entityChunks;
+
+        private InstanceView(int entityChunks) {
+            this.entityChunks = entityChunks;
+        }
+    }
+}